@@ -1,19 +1,68 @@
 package com.example.demo.client;
 
-import lombok.RequiredArgsConstructor;
+import com.example.demo.config.EmbeddingProperties;
 import org.springframework.ai.embedding.EmbeddingModel;
 import org.springframework.ai.embedding.EmbeddingRequest;
 import org.springframework.ai.embedding.EmbeddingResponse;
+import org.springframework.ai.model.openai.autoconfigure.OpenAIAutoConfigurationUtil;
+import org.springframework.ai.model.openai.autoconfigure.OpenAiConnectionProperties;
+import org.springframework.ai.model.openai.autoconfigure.OpenAiEmbeddingProperties;
+import org.springframework.ai.retry.autoconfigure.SpringAiRetryProperties;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
 
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.TimeoutException;
 
 @Service
-@RequiredArgsConstructor
 public class LmStudioEmbeddingClient {
 
+    private static final String DEFAULT_EMBEDDINGS_PATH = "/v1/embeddings";
+
     private final EmbeddingModel embeddingModel;
+    private final EmbeddingProperties props;
+    private final SpringAiRetryProperties retryProperties;
+    private final WebClient webClient;
+    private final String embeddingsPath;
+
+    /**
+     * O endpoint reativo precisa ser o mesmo usado pelo {@link EmbeddingModel} na ingestão,
+     * senão os vetores das perguntas e dos chunks não são comparáveis. URL, chave e headers
+     * (organization/project) são resolvidos pelo próprio Spring AI a partir dos mesmos beans
+     * de propriedades usados pelo auto-configure do {@code OpenAiEmbeddingModel}.
+     */
+    public LmStudioEmbeddingClient(EmbeddingModel embeddingModel,
+                                   EmbeddingProperties props,
+                                   WebClient.Builder webClientBuilder,
+                                   OpenAiConnectionProperties connectionProperties,
+                                   OpenAiEmbeddingProperties embeddingProperties,
+                                   SpringAiRetryProperties retryProperties) {
+        this.embeddingModel = embeddingModel;
+        this.props = props;
+        this.retryProperties = retryProperties;
+        this.embeddingsPath = StringUtils.hasText(embeddingProperties.getEmbeddingsPath())
+            ? embeddingProperties.getEmbeddingsPath()
+            : DEFAULT_EMBEDDINGS_PATH;
+
+        var resolved = OpenAIAutoConfigurationUtil.resolveConnectionProperties(
+            connectionProperties, embeddingProperties, "embedding");
+
+        this.webClient = webClientBuilder
+            .baseUrl(resolved.baseUrl())
+            .defaultHeaders(headers -> {
+                headers.addAll(resolved.headers());
+                if (StringUtils.hasText(resolved.apiKey())) {
+                    headers.setBearerAuth(resolved.apiKey());
+                }
+            })
+            .build();
+    }
 
     /**
      * Gera embeddings em lote para a lista de textos informada.
@@ -32,4 +81,64 @@ public class LmStudioEmbeddingClient {
             .map(d -> d.getOutput())
             .toList();
     }
+
+    /**
+     * Gera o embedding de um único texto sem bloquear a thread chamadora,
+     * chamando diretamente o endpoint OpenAI-compatible de embeddings.
+     * Falhas transitórias são repetidas conforme {@code spring.ai.retry}, como na ingestão.
+     * @param text texto de entrada
+     * @return Mono com o vetor do texto; erro se a resposta vier sem dados
+     */
+    public Mono<float[]> embedReactive(String text) {
+        Mono<float[]> attempt = webClient.post()
+            .uri(embeddingsPath)
+            .bodyValue(new OpenAiEmbeddingRequest(List.of(text), props.getModel()))
+            .retrieve()
+            .bodyToMono(OpenAiEmbeddingResponse.class)
+            .flatMap(resp -> resp.data() == null || resp.data().isEmpty()
+                ? Mono.error(new IllegalStateException("Resposta de embedding vazia"))
+                : Mono.just(resp.data().get(0).embedding()));
+
+        if (props.getRequestTimeout() != null) {
+            attempt = attempt.timeout(props.getRequestTimeout());
+        }
+        return attempt.retryWhen(retrySpec());
+    }
+
+    /**
+     * Equivalente reativo do {@code RetryTemplate} do Spring AI. O backoff do Reactor
+     * usa fator 2 fixo, então {@code backoff.multiplier} não tem correspondente aqui.
+     */
+    private Retry retrySpec() {
+        var backoff = retryProperties.getBackoff();
+        return Retry.backoff(Math.max(0, retryProperties.getMaxAttempts() - 1), backoff.getInitialInterval())
+            .maxBackoff(backoff.getMaxInterval())
+            .filter(this::isTransient)
+            .onRetryExhaustedThrow((spec, signal) -> signal.failure());
+    }
+
+    /**
+     * Mesma classificação do {@code ResponseErrorHandler} do Spring AI: códigos em
+     * {@code on-http-codes} sempre repetem; 4xx só com {@code on-client-errors};
+     * códigos em {@code exclude-on-http-codes} nunca; demais respostas de erro repetem.
+     * Falhas de conexão e timeout também são transitórias.
+     */
+    private boolean isTransient(Throwable error) {
+        if (error instanceof WebClientResponseException e) {
+            int status = e.getStatusCode().value();
+            List<Integer> onCodes = retryProperties.getOnHttpCodes();
+            List<Integer> excludeCodes = retryProperties.getExcludeOnHttpCodes();
+
+            if (onCodes != null && onCodes.contains(status)) return true;
+            if (!retryProperties.isOnClientErrors() && e.getStatusCode().is4xxClientError()) return false;
+            return excludeCodes == null || !excludeCodes.contains(status);
+        }
+        return error instanceof WebClientRequestException || error instanceof TimeoutException;
+    }
+
+    private record OpenAiEmbeddingRequest(List<String> input, String model) {}
+
+    private record OpenAiEmbeddingResponse(List<OpenAiEmbedding> data) {}
+
+    private record OpenAiEmbedding(int index, float[] embedding) {}
 }
@@ -3,6 +3,7 @@ package com.example.demo.config;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
+import reactor.core.scheduler.Schedulers;
 
 @Data
 @Component
@@ -10,6 +11,7 @@ import org.springframework.stereotype.Component;
 public class RagProperties {
     private Search search = new Search();
     private Citation citation = new Citation();
+    private Reactive reactive = new Reactive();
 
     @Data
     public static class Search {
@@ -22,4 +24,25 @@ public class RagProperties {
     public static class Citation {
         private int previewLength = 180;
     }
+
+    @Data
+    public static class Reactive {
+        /**
+         * Threads dedicadas ao JDBC no fluxo reativo. No application.yml é ligado a
+         * {@code spring.datasource.hikari.maximum-pool-size}; o pool é compartilhado
+         * com os endpoints bloqueantes de ingestão.
+         */
+        private int jdbcThreads = 10;
+
+        /**
+         * Tarefas JDBC que podem aguardar uma thread livre; acima disso o scheduler rejeita
+         * e a requisição falha. Cada resposta em andamento ocupa no máximo
+         * {@code 1 + docFetchConcurrency} posições, então o default comporta dezenas de
+         * milhares de respostas simultâneas.
+         */
+        private int jdbcQueueSize = Schedulers.DEFAULT_BOUNDED_ELASTIC_QUEUESIZE;
+
+        /** Buscas simultâneas de conteúdo de documento por requisição do /answer. */
+        private int docFetchConcurrency = 2;
+    }
 }
@@ -0,0 +1,26 @@
+package com.example.demo.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+@Configuration
+public class ReactiveConfig {
+
+    /**
+     * Scheduler isolado para as consultas JDBC do fluxo reativo. O número de threads
+     * é fixo e limitado ao tamanho do pool de conexões, evitando que chamadas bloqueantes
+     * ocupem as threads do event loop. Deve receber apenas chamadas JDBC bloqueantes;
+     * trabalho de CPU roda no {@link Schedulers#parallel()}.
+     */
+    @Bean(destroyMethod = "dispose")
+    public Scheduler jdbcScheduler(RagProperties ragProperties) {
+        var reactive = ragProperties.getReactive();
+        return Schedulers.newBoundedElastic(
+            reactive.getJdbcThreads(),
+            reactive.getJdbcQueueSize(),
+            "rag-jdbc"
+        );
+    }
+}
@@ -7,6 +7,7 @@ import com.example.demo.service.SearchService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import reactor.core.publisher.Mono;
 
 import java.io.IOException;
 import java.util.List;
@@ -35,7 +36,7 @@ class RagController {
     }
 
     @GetMapping("/search/hybrid")
-    public List<SearchService.Result> hybrid(
+    public Mono<List<SearchService.Result>> hybrid(
             @RequestParam("q") String q,
             @RequestParam(value = "k", defaultValue = "8") int k,
             @RequestParam(value = "perDoc", defaultValue = "2") int perDoc
@@ -44,7 +45,7 @@ class RagController {
     }
 
     @PostMapping("/answer")
-    public RAGAnswerService.AnswerResponse answer(@RequestBody AnswerRequest req) throws IOException {
+    public Mono<RAGAnswerService.AnswerResponse> answer(@RequestBody AnswerRequest req) {
         return service.answer(req.question(), req.k(), req.perDoc());
     }
 
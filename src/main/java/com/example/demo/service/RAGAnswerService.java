@@ -5,9 +5,11 @@ import org.springframework.ai.chat.client.ChatClient;
 import org.springframework.ai.chat.messages.SystemMessage;
 import org.springframework.ai.chat.messages.UserMessage;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Service
 public class RAGAnswerService {
@@ -33,30 +35,38 @@ public class RAGAnswerService {
         this.citationService = citationService;
     }
 
-    public AnswerResponse answer(String question, Integer k, Integer perDoc) {
+    /**
+     * Responde à pergunta sem bloquear a thread chamadora. A pergunta é vetorizada uma única
+     * vez e o vetor é compartilhado entre a busca de trechos (citações) e a busca do conteúdo
+     * completo dos documentos (contexto), que rodam concorrentemente.
+     */
+    public Mono<AnswerResponse> answer(String question, Integer k, Integer perDoc) {
         var searchParams = buildSearchParams(k, perDoc);
 
-        var hits = searchService.hybridSearch(question, searchParams.topK(),
-             searchParams.perDoc());
-
-        var fullContents = searchService.searchTopDocsFullContents(question, searchParams.perDoc());
-        var context = String.join("\n\n", fullContents);
-
-        String answer = generateAnswer(question, context);
-        var citations = citationService.createCitations(hits);
-
-        return new AnswerResponse(answer, citations);
+        return searchService.embedQuestion(question)
+            .flatMap(vec -> Mono.zip(
+                searchService.hybridSearchByVector(vec, searchParams.topK(), searchParams.perDoc()),
+                searchService.searchTopDocsFullContentsByVector(vec, searchParams.perDoc())
+            ))
+            .flatMap(results -> {
+                var hits = results.getT1();
+                var context = String.join("\n\n", results.getT2());
+
+                return generateAnswer(question, context)
+                    .map(answer -> new AnswerResponse(answer, citationService.createCitations(hits)));
+            });
     }
 
-    private String generateAnswer(String question, String context) {
+    private Mono<String> generateAnswer(String question, String context) {
         return chatClient.prompt()
             .messages(
                 new SystemMessage(SYSTEM_PROMPT),
                 new SystemMessage("CONTEXTO:\n" + context),
                 new UserMessage(question)
             )
-            .call()
-            .content();
+            .stream()
+            .content()
+            .collect(Collectors.joining());
     }
 
     private SearchParams buildSearchParams(Integer k, Integer perDoc) {
@@ -1,77 +1,56 @@
 package com.example.demo.service;
 
-import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.UUID;
 
-import org.springframework.ai.embedding.EmbeddingModel;
+import com.example.demo.client.LmStudioEmbeddingClient;
+import com.example.demo.config.RagProperties;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 
 import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 
 @Service
 @RequiredArgsConstructor
 public class SearchService {
 
-    private final JdbcTemplate jdbc;
-    private final EmbeddingModel embeddingModel;
-
-    public List<Result> hybridSearch(String question, int topK, int perDocLimit) {
-        float[] v = embeddingModel.embed(question);
-        String vec = toPgVectorLiteral(v);
-
-        String sql = """
-            WITH q AS (
-              SELECT ?::vector AS v
-            ),
-            vec AS (
-              SELECT c.*,
-                     (1 - (c.embedding <=> (SELECT v FROM q))) AS vsim
-              FROM document_chunks c
-              WHERE c.embedding IS NOT NULL
-              ORDER BY c.embedding <=> (SELECT v FROM q) ASC
-              LIMIT 200
-            ),
-            scored AS (
-              SELECT v.id, v.document_id, v.chunk_index, v.content,
-                     v.vsim,
-                     0.0 AS fr,                     -- sem FTS
-                     v.vsim AS score,
-                     row_number() OVER (
-                       PARTITION BY v.document_id
-                       ORDER BY v.vsim DESC
-                     ) AS rnk_in_doc
-              FROM vec v
-            )
-            SELECT id, document_id, chunk_index, content, vsim, fr, score
-            FROM scored
-            WHERE rnk_in_doc <= ?
-            ORDER BY score DESC
-            LIMIT ?
-            """;
-
-        return jdbc.query(sql, (rs, i) -> new Result(
-            (UUID) rs.getObject("id"),
-            (UUID) rs.getObject("document_id"),
-            rs.getInt("chunk_index"),
-            rs.getString("content"),
-            rs.getDouble("vsim"),
-            rs.getDouble("fr"),
-            rs.getDouble("score")
-            ),
-            vec,                 // q.v
-            perDocLimit,         // no máximo N chunks por documento
-            topK                 // top-K final
-        );
-    }
-
-    public List<String> searchTopDocsFullContents(String question, int topDocs) {
-        float[] qvec = embeddingModel.embed(question);
-        String vec = toPgVectorLiteral(qvec);
+    private static final String HYBRID_SQL = """
+        WITH q AS (
+          SELECT ?::vector AS v
+        ),
+        vec AS (
+          SELECT c.*,
+                 (1 - (c.embedding <=> (SELECT v FROM q))) AS vsim
+          FROM document_chunks c
+          WHERE c.embedding IS NOT NULL
+          ORDER BY c.embedding <=> (SELECT v FROM q) ASC
+          LIMIT 200
+        ),
+        scored AS (
+          SELECT v.id, v.document_id, v.chunk_index, v.content,
+                 v.vsim,
+                 0.0 AS fr,                     -- sem FTS
+                 v.vsim AS score,
+                 row_number() OVER (
+                   PARTITION BY v.document_id
+                   ORDER BY v.vsim DESC
+                 ) AS rnk_in_doc
+          FROM vec v
+        )
+        SELECT id, document_id, chunk_index, content, vsim, fr, score
+        FROM scored
+        WHERE rnk_in_doc <= ?
+        ORDER BY score DESC
+        LIMIT ?
+        """;
 
-        final String sql = """
+    private static final String TOP_DOCS_SQL = """
         WITH q AS (
             SELECT ?::vector AS v
         ),
@@ -93,22 +72,76 @@ public class SearchService {
         LIMIT ?
         """;
 
-        List<UUID> docIds = jdbc.query(
-            sql,
+    private final JdbcTemplate jdbc;
+    private final LmStudioEmbeddingClient embeddingClient;
+    private final Scheduler jdbcScheduler;
+    private final RagProperties ragProperties;
+
+    /**
+     * Vetoriza a pergunta via WebClient e converte o vetor para o literal do pgvector.
+     * A formatação é CPU pura: roda no scheduler paralelo, fora da thread de I/O e sem
+     * consumir as threads reservadas ao JDBC.
+     * @param question texto da pergunta
+     * @return Mono com o literal pronto para ser usado como parâmetro {@code ?::vector};
+     *         erro se o cliente de embedding não devolver vetor
+     */
+    public Mono<String> embedQuestion(String question) {
+        return embeddingClient.embedReactive(question)
+            .switchIfEmpty(Mono.error(() -> new IllegalStateException("Embedding da pergunta vazio")))
+            .publishOn(Schedulers.parallel())
+            .map(SearchService::toPgVectorLiteral);
+    }
+
+    public Mono<List<Result>> hybridSearch(String question, int topK, int perDocLimit) {
+        return embedQuestion(question)
+            .flatMap(vec -> hybridSearchByVector(vec, topK, perDocLimit));
+    }
+
+    public Mono<List<Result>> hybridSearchByVector(String vectorLiteral, int topK, int perDocLimit) {
+        return Mono.fromCallable(() -> queryHybrid(vectorLiteral, topK, perDocLimit))
+            .subscribeOn(jdbcScheduler);
+    }
+
+    private List<Result> queryHybrid(String vec, int topK, int perDocLimit) {
+        return jdbc.query(HYBRID_SQL, (rs, i) -> new Result(
+            (UUID) rs.getObject("id"),
+            (UUID) rs.getObject("document_id"),
+            rs.getInt("chunk_index"),
+            rs.getString("content"),
+            rs.getDouble("vsim"),
+            rs.getDouble("fr"),
+            rs.getDouble("score")
+            ),
+            vec,                 // q.v
+            perDocLimit,         // no máximo N chunks por documento
+            topK                 // top-K final
+        );
+    }
+
+    /**
+     * Busca o conteúdo completo dos documentos mais relevantes. O conteúdo de cada
+     * documento é buscado em paralelo no scheduler JDBC, preservando a ordem do ranking
+     * (o limite de documentos já é aplicado pelo {@code LIMIT} da consulta). O número de
+     * buscas simultâneas por requisição é limitado por {@code rag.reactive.doc-fetch-concurrency};
+     * as demais aguardam em vez de ocupar a fila do scheduler.
+     */
+    public Mono<List<String>> searchTopDocsFullContentsByVector(String vectorLiteral, int topDocs) {
+        return Mono.fromCallable(() -> queryTopDocIds(vectorLiteral, topDocs))
+            .subscribeOn(jdbcScheduler)
+            .flatMapMany(docIds -> Flux.fromIterable(new LinkedHashSet<>(docIds)))
+            .flatMapSequential(id -> Mono.fromCallable(() -> getFullDocumentContent(id))
+                .subscribeOn(jdbcScheduler), ragProperties.getReactive().getDocFetchConcurrency())
+            .filter(content -> !content.isBlank())
+            .collectList();
+    }
+
+    private List<UUID> queryTopDocIds(String vec, int topDocs) {
+        return jdbc.query(
+            TOP_DOCS_SQL,
             (rs, i) -> (UUID) rs.getObject("document_id"),
             vec,
             topDocs
         );
-
-        List<String> out = new ArrayList<>(docIds.size());
-        for (UUID id : new java.util.LinkedHashSet<>(docIds)) {
-            String content = getFullDocumentContent(id);
-            if (content != null && !content.isBlank()) {
-                out.add(content);
-                if (out.size() >= topDocs) break;
-            }
-        }
-        return out;
     }
 
     public String getFullDocumentContent(UUID documentId) {
@@ -0,0 +1,117 @@
+package com.example.demo.client;
+
+import com.example.demo.config.EmbeddingProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.model.openai.autoconfigure.OpenAiConnectionProperties;
+import org.springframework.ai.model.openai.autoconfigure.OpenAiEmbeddingProperties;
+import org.springframework.ai.retry.autoconfigure.SpringAiRetryProperties;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class LmStudioEmbeddingClientTest {
+
+    private static final String OK_BODY = "{\"data\":[{\"index\":0,\"embedding\":[0.5,0.25]}]}";
+
+    @Test
+    void sendsResolvedEndpointAndKey() {
+        List<ClientRequest> requests = new ArrayList<>();
+        var client = newClient(request -> {
+            requests.add(request);
+            return Mono.just(json(HttpStatus.OK, OK_BODY));
+        });
+
+        StepVerifier.create(client.embedReactive("texto"))
+            .assertNext(v -> assertThat(v).containsExactly(0.5f, 0.25f))
+            .verifyComplete();
+
+        assertThat(requests).hasSize(1);
+        assertThat(requests.get(0).url().toString()).isEqualTo("http://lm-studio/v1/embeddings");
+        assertThat(requests.get(0).headers().getFirst(HttpHeaders.AUTHORIZATION)).isEqualTo("Bearer test-key");
+    }
+
+    @Test
+    void emptyResponseIsAnError() {
+        var client = newClient(request -> Mono.just(json(HttpStatus.OK, "{\"data\":[]}")));
+
+        StepVerifier.create(client.embedReactive("texto"))
+            .expectError(IllegalStateException.class)
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void retriesServerErrorsLikeTheIngestPath() {
+        AtomicInteger calls = new AtomicInteger();
+        var client = newClient(request -> Mono.just(calls.incrementAndGet() == 1
+            ? ClientResponse.create(HttpStatus.SERVICE_UNAVAILABLE).build()
+            : json(HttpStatus.OK, OK_BODY)));
+
+        StepVerifier.create(client.embedReactive("texto"))
+            .expectNextCount(1)
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void doesNotRetryClientErrors() {
+        AtomicInteger calls = new AtomicInteger();
+        var client = newClient(request -> {
+            calls.incrementAndGet();
+            return Mono.just(ClientResponse.create(HttpStatus.BAD_REQUEST).build());
+        });
+
+        StepVerifier.create(client.embedReactive("texto"))
+            .expectError(WebClientResponseException.BadRequest.class)
+            .verify(Duration.ofSeconds(5));
+
+        assertThat(calls).hasValue(1);
+    }
+
+    private static LmStudioEmbeddingClient newClient(ExchangeFunction exchange) {
+        var props = new EmbeddingProperties();
+        props.setModel("text-embedding-bge-m3");
+
+        var connection = new OpenAiConnectionProperties();
+        connection.setBaseUrl("http://lm-studio");
+        connection.setApiKey("test-key");
+
+        var retry = new SpringAiRetryProperties();
+        retry.setMaxAttempts(3);
+        retry.getBackoff().setInitialInterval(Duration.ofMillis(1));
+        retry.getBackoff().setMaxInterval(Duration.ofMillis(10));
+
+        return new LmStudioEmbeddingClient(
+            mock(EmbeddingModel.class),
+            props,
+            WebClient.builder().exchangeFunction(exchange),
+            connection,
+            new OpenAiEmbeddingProperties(),
+            retry
+        );
+    }
+
+    private static ClientResponse json(HttpStatus status, String body) {
+        return ClientResponse.create(status)
+            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+            .body(body)
+            .build();
+    }
+}
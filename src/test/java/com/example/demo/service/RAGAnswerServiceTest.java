@@ -0,0 +1,136 @@
+package com.example.demo.service;
+
+import com.example.demo.client.LmStudioEmbeddingClient;
+import com.example.demo.config.RagProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RAGAnswerServiceTest {
+
+    private static final UUID DOC_A = UUID.randomUUID();
+    private static final UUID DOC_B = UUID.randomUUID();
+    private static final UUID DOC_C = UUID.randomUUID();
+
+    private final JdbcTemplate jdbc = mock(JdbcTemplate.class);
+    private final LmStudioEmbeddingClient embeddingClient = mock(LmStudioEmbeddingClient.class);
+    private final ChatClient chatClient = mock(ChatClient.class, RETURNS_DEEP_STUBS);
+    private final RagProperties ragProperties = new RagProperties();
+
+    private Scheduler jdbcScheduler;
+    private SearchService searchService;
+    private RAGAnswerService answerService;
+
+    @BeforeEach
+    void setUp() {
+        ragProperties.getReactive().setDocFetchConcurrency(3);
+        jdbcScheduler = Schedulers.newBoundedElastic(4, 100, "test-jdbc");
+        searchService = new SearchService(jdbc, embeddingClient, jdbcScheduler, ragProperties);
+
+        ChatClient.Builder builder = mock(ChatClient.Builder.class);
+        when(builder.build()).thenReturn(chatClient);
+        answerService = new RAGAnswerService(searchService, builder, ragProperties, new CitationService(ragProperties));
+
+        when(chatClient.prompt().messages(any(Message[].class)).stream().content())
+            .thenReturn(Flux.just("Resp", "osta"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcScheduler.dispose();
+    }
+
+    @Test
+    void answerEmbedsQuestionOnceAndRunsBothQueriesConcurrently() {
+        when(embeddingClient.embedReactive("pergunta")).thenReturn(Mono.just(new float[]{0.1f, 0.2f}));
+
+        // Cada consulta só avança quando a outra também estiver em execução;
+        // se rodassem em sequência, a barreira estouraria o timeout.
+        CyclicBarrier bothRunning = new CyclicBarrier(2);
+        var hit = new SearchService.Result(UUID.randomUUID(), DOC_A, 0, "trecho", 0.9, 0.0, 0.9);
+
+        when(jdbc.query(contains("rnk_in_doc <= ?"), any(RowMapper.class), any(Object[].class)))
+            .thenAnswer(inv -> {
+                bothRunning.await(5, TimeUnit.SECONDS);
+                return List.of(hit);
+            });
+        when(jdbc.query(contains("rnk_in_doc = 1"), any(RowMapper.class), any(Object[].class)))
+            .thenAnswer(inv -> {
+                bothRunning.await(5, TimeUnit.SECONDS);
+                return List.of(DOC_A);
+            });
+        when(jdbc.queryForList(anyString(), eq(String.class), any(Object[].class)))
+            .thenReturn(List.of("conteudo"));
+
+        StepVerifier.create(answerService.answer("pergunta", 4, 2))
+            .assertNext(resp -> {
+                assertThat(resp.answer()).isEqualTo("Resposta");
+                assertThat(resp.citations()).extracting(RAGAnswerService.Citation::documentId)
+                    .containsExactly(DOC_A);
+            })
+            .expectComplete()
+            .verify(Duration.ofSeconds(10));
+
+        verify(embeddingClient, times(1)).embedReactive("pergunta");
+    }
+
+    @Test
+    void topDocsContentsKeepRankingOrderEvenWhenFetchesFinishOutOfOrder() {
+        when(jdbc.query(contains("rnk_in_doc = 1"), any(RowMapper.class), any(Object[].class)))
+            .thenAnswer(inv -> List.of(DOC_A, DOC_B, DOC_C));
+
+        // O primeiro do ranking é o mais lento: com as buscas em paralelo ele termina por último.
+        Map<UUID, Long> delays = Map.of(DOC_A, 300L, DOC_B, 100L, DOC_C, 0L);
+        Map<UUID, String> contents = Map.of(DOC_A, "doc-A", DOC_B, "doc-B", DOC_C, "doc-C");
+        when(jdbc.queryForList(anyString(), eq(String.class), any(Object[].class)))
+            .thenAnswer(inv -> {
+                UUID id = inv.getArgument(2);
+                Thread.sleep(delays.get(id));
+                return List.of(contents.get(id));
+            });
+
+        StepVerifier.create(searchService.searchTopDocsFullContentsByVector("[0.1,0.2]", 3))
+            .expectNext(List.of("doc-A", "doc-B", "doc-C"))
+            .expectComplete()
+            .verify(Duration.ofSeconds(10));
+    }
+
+    @Test
+    void emptyEmbeddingFailsInsteadOfReturningEmptyAnswer() {
+        when(embeddingClient.embedReactive("pergunta")).thenReturn(Mono.empty());
+
+        StepVerifier.create(answerService.answer("pergunta", null, null))
+            .expectError(IllegalStateException.class)
+            .verify(Duration.ofSeconds(5));
+
+        verify(jdbc, never()).query(anyString(), any(RowMapper.class), any(Object[].class));
+    }
+}